@@ -1,5 +1,21 @@
 import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -10,10 +26,38 @@ import java.time.format.DateTimeFormatter;
 public class TaskManager {
     private List<Task> tasks;
     private int nextId;
+    private final ChangePublisher changes;
+    
+    private final Map<Integer, Task> tasksById;
+    private final Map<Integer, Set<Integer>> prerequisites;      // task -> tasks it waits on
+    private final Map<Integer, Set<Integer>> dependents;         // task -> tasks waiting on it
+    private final Map<Integer, Integer> unmetPrerequisites;      // task -> count of incomplete prerequisites
+    private final Map<Integer, Task> readyTasks;                 // pending tasks with no unmet prerequisites
     
     public TaskManager() {
+        this(ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Create a task manager whose change events are delivered on the given executor
+     */
+    public TaskManager(Executor changeExecutor) {
+        this(changeExecutor, 1024, 256);
+    }
+    
+    /**
+     * Create a task manager with a per-subscriber change buffer (a power of two)
+     * and a cap on the number of events delivered in one batch
+     */
+    public TaskManager(Executor changeExecutor, int changeBufferCapacity, int maxChangeBatchSize) {
         this.tasks = new ArrayList<>();
         this.nextId = 1;
+        this.changes = new ChangePublisher(changeExecutor, changeBufferCapacity, maxChangeBatchSize);
+        this.tasksById = new HashMap<>();
+        this.prerequisites = new HashMap<>();
+        this.dependents = new HashMap<>();
+        this.unmetPrerequisites = new HashMap<>();
+        this.readyTasks = new LinkedHashMap<>();
     }
     
     /**
@@ -44,15 +88,17 @@ public class TaskManager {
         public LocalDateTime getCompletedAt() { return completedAt; }
         public String getPriority() { return priority; }
         
-        public void setDescription(String description) { this.description = description; }
-        public void setPriority(String priority) { this.priority = priority; }
+        // Mutators are package-private: go through TaskManager so the ready set
+        // and change stream see every change
+        void setDescription(String description) { this.description = description; }
+        void setPriority(String priority) { this.priority = priority; }
         
-        public void complete() {
+        void complete() {
             this.completed = true;
             this.completedAt = LocalDateTime.now();
         }
         
-        public void uncomplete() {
+        void uncomplete() {
             this.completed = false;
             this.completedAt = null;
         }
@@ -67,53 +113,527 @@ public class TaskManager {
     }
     
     /**
-     * Add a new task
+     * Kinds of mutation published on the change stream.
+     * RESYNC means the subscriber's buffer overflowed and some events were dropped;
+     * it should reload from getAllTasks() and then keep applying the events after it.
      */
-    public void addTask(String description) {
-        if (description == null || description.trim().isEmpty()) {
-            throw new IllegalArgumentException("Task description cannot be empty!");
+    public enum ChangeType {
+        ADDED, COMPLETED, UNCOMPLETED, REMOVED, PRIORITY_CHANGED, DESCRIPTION_CHANGED, RESYNC
+    }
+    
+    /**
+     * Immutable snapshot of a single task mutation
+     */
+    public record TaskEvent(ChangeType type, int taskId, String description, String priority) {
+        static final TaskEvent RESYNC = new TaskEvent(ChangeType.RESYNC, 0, null, null);
+        
+        static TaskEvent of(ChangeType type, Task task) {
+            return new TaskEvent(type, task.getId(), task.getDescription(), task.getPriority());
+        }
+    }
+    
+    /**
+     * Publishes task mutations as batches of events.
+     * Each subscriber owns a single-producer/single-consumer ring buffer, so the
+     * mutating thread only writes a slot and bumps a counter; delivery happens on
+     * the executor and coalesces everything buffered (up to the batch size) into
+     * one onNext call per unit of demand. When a subscriber's buffer fills up, the
+     * buffered events are collapsed into a single RESYNC marker instead of ending
+     * the stream.
+     */
+    static final class ChangePublisher implements Flow.Publisher<List<TaskEvent>> {
+        private final Executor executor;
+        private final int bufferCapacity;
+        private final int maxBatchSize;
+        private final List<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+        private volatile boolean closed;
+        
+        ChangePublisher(Executor executor, int bufferCapacity, int maxBatchSize) {
+            if (Integer.bitCount(bufferCapacity) != 1) {
+                throw new IllegalArgumentException("Buffer capacity must be a power of two!");
+            }
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("Batch size must be at least 1!");
+            }
+            this.executor = Objects.requireNonNull(executor);
+            this.bufferCapacity = bufferCapacity;
+            this.maxBatchSize = maxBatchSize;
+        }
+        
+        @Override
+        public void subscribe(Flow.Subscriber<? super List<TaskEvent>> subscriber) {
+            Objects.requireNonNull(subscriber);
+            ChangeSubscription subscription = new ChangeSubscription(subscriber);
+            // Hold the drain until onSubscribe returns so signals stay serial
+            subscription.wip.set(1);
+            try {
+                subscriber.onSubscribe(subscription);
+            } catch (Throwable failure) {
+                subscription.cancel();
+                throw failure;
+            }
+            subscriptions.add(subscription);
+            if (subscription.cancelled) {
+                // Cancelled from onSubscribe, before there was anything to remove
+                subscriptions.remove(subscription);
+                return;
+            }
+            if (closed) {
+                subscription.complete();
+            }
+            executor.execute(subscription);
         }
         
-        Task newTask = new Task(nextId++, description.trim());
-        tasks.add(newTask);
+        /**
+         * Complete all subscribers once their buffered events are delivered
+         */
+        void close() {
+            closed = true;
+            subscriptions.forEach(ChangeSubscription::complete);
+        }
+        
+        int getSubscriberCount() {
+            return subscriptions.size();
+        }
+        
+        void publish(TaskEvent event) {
+            if (closed) {
+                return;
+            }
+            for (ChangeSubscription subscription : subscriptions) {
+                subscription.offer(event);
+            }
+        }
+        
+        private final class ChangeSubscription implements Flow.Subscription, Runnable {
+            private final Flow.Subscriber<? super List<TaskEvent>> subscriber;
+            private final TaskEvent[] ring = new TaskEvent[bufferCapacity];
+            private final int mask = bufferCapacity - 1;
+            private final AtomicLong head = new AtomicLong(); // next slot to deliver
+            private final AtomicLong tail = new AtomicLong(); // next slot to fill
+            private final AtomicLong demand = new AtomicLong();
+            private final AtomicInteger wip = new AtomicInteger();
+            private volatile boolean overflowed; // producer stops writing until the drain clears it
+            private volatile boolean completed;
+            private volatile boolean cancelled;
+            private volatile Throwable error;
+            private boolean resyncPending; // drain thread only
+            
+            ChangeSubscription(Flow.Subscriber<? super List<TaskEvent>> subscriber) {
+                this.subscriber = subscriber;
+            }
+            
+            void offer(TaskEvent event) {
+                if (cancelled || completed || overflowed || error != null) {
+                    return;
+                }
+                long t = tail.get();
+                if (t - head.get() == ring.length) {
+                    overflowed = true;
+                } else {
+                    ring[(int) t & mask] = event;
+                    tail.lazySet(t + 1);
+                }
+                schedule();
+            }
+            
+            void complete() {
+                completed = true;
+                schedule();
+            }
+            
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    error = new IllegalArgumentException("Requested demand must be positive!");
+                } else {
+                    demand.getAndAccumulate(n, (current, added) -> {
+                        long sum = current + added;
+                        return sum < 0 ? Long.MAX_VALUE : sum;
+                    });
+                }
+                schedule();
+            }
+            
+            @Override
+            public void cancel() {
+                cancelled = true;
+                subscriptions.remove(this);
+            }
+            
+            private void schedule() {
+                if (wip.getAndIncrement() == 0) {
+                    executor.execute(this);
+                }
+            }
+            
+            /**
+             * Drain loop; only ever runs on one thread at a time thanks to wip
+             */
+            @Override
+            public void run() {
+                int missed = 1;
+                while (true) {
+                    if (cancelled) {
+                        return;
+                    }
+                    Throwable ex = error;
+                    if (ex != null) {
+                        cancel();
+                        try {
+                            subscriber.onError(ex);
+                        } catch (Throwable ignored) {
+                            // Already cancelled; never let it reach the mutating thread
+                        }
+                        return;
+                    }
+                    // Read completed before tail so events published ahead of close() are seen
+                    boolean done = completed;
+                    if (overflowed) {
+                        // The producer is not writing, so tail is stable: drop everything buffered
+                        long t = tail.get();
+                        for (long i = head.get(); i < t; i++) {
+                            ring[(int) i & mask] = null;
+                        }
+                        head.lazySet(t);
+                        resyncPending = true;
+                        overflowed = false;
+                    }
+                    long h = head.get();
+                    long t = tail.get();
+                    if ((resyncPending || h != t) && demand.get() > 0) {
+                        List<TaskEvent> batch = new ArrayList<>();
+                        if (resyncPending) {
+                            batch.add(TaskEvent.RESYNC);
+                            resyncPending = false;
+                        }
+                        int n = (int) Math.min(t - h, maxBatchSize - batch.size());
+                        for (int i = 0; i < n; i++) {
+                            int slot = (int) (h + i) & mask;
+                            batch.add(ring[slot]);
+                            ring[slot] = null;
+                        }
+                        head.lazySet(h + n);
+                        if (demand.get() != Long.MAX_VALUE) {
+                            demand.decrementAndGet();
+                        }
+                        try {
+                            subscriber.onNext(Collections.unmodifiableList(batch));
+                        } catch (Throwable failure) {
+                            // Rule 2.13: treat the subscriber as cancelled; rethrowing could
+                            // surface in the mutating thread with a same-thread executor
+                            cancel();
+                            return;
+                        }
+                        continue;
+                    }
+                    if (done && h == t && !resyncPending) {
+                        cancel();
+                        try {
+                            subscriber.onComplete();
+                        } catch (Throwable ignored) {
+                            // Already cancelled; never let it reach the mutating thread
+                        }
+                        return;
+                    }
+                    missed = wip.addAndGet(-missed);
+                    if (missed == 0) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Stream of task mutations, delivered in batches with backpressure
+     */
+    public Flow.Publisher<List<TaskEvent>> getChangePublisher() {
+        return changes;
+    }
+    
+    /**
+     * Complete every change subscriber once its buffered events are delivered.
+     * Later mutations are no longer published.
+     */
+    public void closeChangeStream() {
+        changes.close();
+    }
+    
+    int getChangeSubscriberCount() {
+        return changes.getSubscriberCount();
+    }
+    
+    /**
+     * Add a new task
+     */
+    public void addTask(String description) {
+        Task newTask = createTask(description);
+        registerTask(newTask);
+        changes.publish(TaskEvent.of(ChangeType.ADDED, newTask));
     }
     
     /**
      * Add a task with priority
      */
     public void addTask(String description, String priority) {
-        addTask(description);
-        Task lastTask = tasks.get(tasks.size() - 1);
-        lastTask.setPriority(priority);
+        Task newTask = createTask(description);
+        newTask.setPriority(priority);
+        registerTask(newTask);
+        changes.publish(TaskEvent.of(ChangeType.ADDED, newTask));
+    }
+    
+    private Task createTask(String description) {
+        if (description == null || description.trim().isEmpty()) {
+            throw new IllegalArgumentException("Task description cannot be empty!");
+        }
+        return new Task(nextId++, description.trim());
+    }
+    
+    private void registerTask(Task task) {
+        tasks.add(task);
+        tasksById.put(task.getId(), task);
+        readyTasks.put(task.getId(), task);
     }
     
     /**
      * Complete a task by ID
      */
     public boolean completeTask(int id) {
+        return markCompleted(id, null);
+    }
+    
+    /**
+     * Complete a task by ID and return the tasks that became ready as a result.
+     * Empty if the task was not found, was already completed, or released nothing.
+     */
+    public List<Task> completeTaskAndGetReady(int id) {
+        List<Task> newlyReady = new ArrayList<>();
+        return markCompleted(id, newlyReady) ? newlyReady : List.of();
+    }
+    
+    private boolean markCompleted(int id, List<Task> newlyReady) {
+        Task task = findTaskById(id);
+        if (task == null || task.isCompleted()) {
+            return false;
+        }
+        task.complete();
+        readyTasks.remove(id);
+        for (int dependentId : dependents.getOrDefault(id, Set.of())) {
+            Task released = releasePrerequisite(dependentId);
+            if (released != null && newlyReady != null) {
+                newlyReady.add(released);
+            }
+        }
+        changes.publish(TaskEvent.of(ChangeType.COMPLETED, task));
+        return true;
+    }
+    
+    /**
+     * Mark a completed task as pending again
+     */
+    public boolean uncompleteTask(int id) {
         Task task = findTaskById(id);
-        if (task != null && !task.isCompleted()) {
-            task.complete();
+        if (task != null && task.isCompleted()) {
+            task.uncomplete();
+            for (int dependentId : dependents.getOrDefault(id, Set.of())) {
+                unmetPrerequisites.merge(dependentId, 1, Integer::sum);
+                readyTasks.remove(dependentId);
+            }
+            if (unmetPrerequisites.getOrDefault(id, 0) == 0) {
+                readyTasks.put(id, task);
+            }
+            changes.publish(TaskEvent.of(ChangeType.UNCOMPLETED, task));
             return true;
         }
         return false;
     }
     
+    /**
+     * Change the priority of a task by ID
+     */
+    public boolean setTaskPriority(int id, String priority) {
+        Task task = findTaskById(id);
+        if (task == null) {
+            return false;
+        }
+        if (!Objects.equals(task.getPriority(), priority)) {
+            task.setPriority(priority);
+            changes.publish(TaskEvent.of(ChangeType.PRIORITY_CHANGED, task));
+        }
+        return true;
+    }
+    
+    /**
+     * Change the description of a task by ID
+     */
+    public boolean setTaskDescription(int id, String description) {
+        if (description == null || description.trim().isEmpty()) {
+            throw new IllegalArgumentException("Task description cannot be empty!");
+        }
+        Task task = findTaskById(id);
+        if (task == null) {
+            return false;
+        }
+        if (!task.getDescription().equals(description.trim())) {
+            task.setDescription(description.trim());
+            changes.publish(TaskEvent.of(ChangeType.DESCRIPTION_CHANGED, task));
+        }
+        return true;
+    }
+    
     /**
      * Remove a task by ID
      */
     public boolean removeTask(int id) {
-        return tasks.removeIf(task -> task.getId() == id);
+        Task task = findTaskById(id);
+        if (task == null) {
+            return false;
+        }
+        tasks.remove(task);
+        unlinkTask(task);
+        changes.publish(TaskEvent.of(ChangeType.REMOVED, task));
+        return true;
+    }
+    
+    /**
+     * Make a task wait for another task to complete.
+     * Returns false if either task is missing or the dependency already exists.
+     */
+    public boolean addDependency(int taskId, int prerequisiteId) {
+        Task task = findTaskById(taskId);
+        Task prerequisite = findTaskById(prerequisiteId);
+        if (task == null || prerequisite == null) {
+            return false;
+        }
+        if (taskId == prerequisiteId || dependsOn(prerequisiteId, taskId)) {
+            throw new IllegalArgumentException(
+                "Task " + taskId + " depending on task " + prerequisiteId + " would create a cycle!");
+        }
+        if (!prerequisites.computeIfAbsent(taskId, k -> new LinkedHashSet<>()).add(prerequisiteId)) {
+            return false;
+        }
+        dependents.computeIfAbsent(prerequisiteId, k -> new LinkedHashSet<>()).add(taskId);
+        if (!prerequisite.isCompleted()) {
+            unmetPrerequisites.merge(taskId, 1, Integer::sum);
+            readyTasks.remove(taskId);
+        }
+        return true;
+    }
+    
+    /**
+     * Remove a dependency between two tasks
+     */
+    public boolean removeDependency(int taskId, int prerequisiteId) {
+        Set<Integer> taskPrerequisites = prerequisites.get(taskId);
+        if (taskPrerequisites == null || !taskPrerequisites.remove(prerequisiteId)) {
+            return false;
+        }
+        removeEdge(dependents, prerequisiteId, taskId);
+        if (taskPrerequisites.isEmpty()) {
+            prerequisites.remove(taskId);
+        }
+        if (!tasksById.get(prerequisiteId).isCompleted()) {
+            releasePrerequisite(taskId);
+        }
+        return true;
+    }
+    
+    /**
+     * Get the IDs of the tasks a task directly depends on
+     */
+    public Set<Integer> getPrerequisites(int taskId) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(prerequisites.getOrDefault(taskId, Set.of())));
+    }
+    
+    /**
+     * Get pending tasks whose prerequisites are all complete
+     */
+    public List<Task> getReadyTasks() {
+        return new ArrayList<>(readyTasks.values());
+    }
+    
+    /**
+     * Check if a task is pending with all prerequisites complete
+     */
+    public boolean isReady(int taskId) {
+        return readyTasks.containsKey(taskId);
+    }
+    
+    /**
+     * Check whether a task transitively depends on another (depth-first over prerequisites)
+     */
+    private boolean dependsOn(int taskId, int prerequisiteId) {
+        Deque<Integer> stack = new ArrayDeque<>();
+        Set<Integer> visited = new HashSet<>();
+        stack.push(taskId);
+        while (!stack.isEmpty()) {
+            int current = stack.pop();
+            if (current == prerequisiteId) {
+                return true;
+            }
+            if (visited.add(current)) {
+                prerequisites.getOrDefault(current, Set.of()).forEach(stack::push);
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * One of a task's pending prerequisites went away; mark it ready when none remain.
+     * Returns the task if it just became ready, otherwise null.
+     */
+    private Task releasePrerequisite(int taskId) {
+        int remaining = unmetPrerequisites.merge(taskId, -1, Integer::sum);
+        if (remaining == 0) {
+            unmetPrerequisites.remove(taskId);
+            Task task = tasksById.get(taskId);
+            if (!task.isCompleted()) {
+                readyTasks.put(taskId, task);
+                return task;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Drop a removed task from the index and dependency graph
+     */
+    private void unlinkTask(Task task) {
+        int id = task.getId();
+        tasksById.remove(id);
+        readyTasks.remove(id);
+        unmetPrerequisites.remove(id);
+        for (int prerequisiteId : prerequisites.getOrDefault(id, Set.of())) {
+            removeEdge(dependents, prerequisiteId, id);
+        }
+        prerequisites.remove(id);
+        Set<Integer> waiting = dependents.remove(id);
+        if (waiting != null) {
+            for (int dependentId : waiting) {
+                removeEdge(prerequisites, dependentId, id);
+                if (!task.isCompleted()) {
+                    releasePrerequisite(dependentId);
+                }
+            }
+        }
+    }
+    
+    private static void removeEdge(Map<Integer, Set<Integer>> edges, int from, int to) {
+        Set<Integer> targets = edges.get(from);
+        if (targets != null) {
+            targets.remove(to);
+            if (targets.isEmpty()) {
+                edges.remove(from);
+            }
+        }
     }
     
     /**
      * Find a task by ID
      */
     public Task findTaskById(int id) {
-        return tasks.stream()
-                   .filter(task -> task.getId() == id)
-                   .findFirst()
-                   .orElse(null);
+        return tasksById.get(id);
     }
     
     /**
@@ -199,9 +719,17 @@ public class TaskManager {
      * Clear all completed tasks
      */
     public int clearCompletedTasks() {
-        int removedCount = (int) tasks.stream().mapToLong(task -> task.isCompleted() ? 1 : 0).sum();
-        tasks.removeIf(Task::isCompleted);
-        return removedCount;
+        List<Task> remaining = new ArrayList<>(tasks.size());
+        List<Task> removed = new ArrayList<>();
+        for (Task task : tasks) {
+            (task.isCompleted() ? removed : remaining).add(task);
+        }
+        tasks = remaining;
+        for (Task task : removed) {
+            unlinkTask(task);
+            changes.publish(TaskEvent.of(ChangeType.REMOVED, task));
+        }
+        return removed.size();
     }
     
     /**
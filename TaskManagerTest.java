@@ -0,0 +1,296 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * TaskManagerTest - Self-checking scenarios for TaskManager
+ * Run with: javac TaskManagerTest.java && java TaskManagerTest
+ */
+public class TaskManagerTest {
+    private static int passed = 0;
+    private static int failed = 0;
+
+    public static void main(String[] args) {
+        testEventsAreBatched();
+        testOverflowCollapsesIntoResync();
+        testCloseDeliversBufferedEvents();
+        testThrowingSubscriberDoesNotBreakMutations();
+        testCancelInsideOnSubscribe();
+        testSignalsWaitForOnSubscribe();
+        testReadySetFollowsCompletion();
+        testReadySetFollowsUncompleteAndRemove();
+        testReadySetFollowsClear();
+        testDependencyValidation();
+
+        System.out.printf("\n📊 %d passed, %d failed\n", passed, failed);
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static List<Integer> ids(List<TaskManager.Task> tasks) {
+        List<Integer> ids = new ArrayList<>();
+        tasks.forEach(task -> ids.add(task.getId()));
+        return ids;
+    }
+
+    /**
+     * Tasks 1..5 where 2 and 3 wait on 1, 3 also waits on 2, 4 waits on 3, and 5 is independent
+     */
+    private static TaskManager chain() {
+        TaskManager manager = new TaskManager(command -> { });
+        for (int i = 1; i <= 5; i++) {
+            manager.addTask("Task " + i);
+        }
+        manager.addDependency(2, 1);
+        manager.addDependency(3, 1);
+        manager.addDependency(3, 2);
+        manager.addDependency(4, 3);
+        return manager;
+    }
+
+    private static void check(String name, boolean condition) {
+        if (condition) {
+            passed++;
+            System.out.println("✅ " + name);
+        } else {
+            failed++;
+            System.out.println("❌ " + name);
+        }
+    }
+
+    /**
+     * Executor that only runs queued work when asked, so delivery is deterministic
+     */
+    private static class ManualExecutor implements Executor {
+        private final Queue<Runnable> queue = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            queue.add(command);
+        }
+
+        void runAll() {
+            Runnable next;
+            while ((next = queue.poll()) != null) {
+                next.run();
+            }
+        }
+    }
+
+    /**
+     * Subscriber that records everything it receives
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<List<TaskManager.TaskEvent>> {
+        final List<List<TaskManager.TaskEvent>> batches = new ArrayList<>();
+        final long initialRequest;
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(List<TaskManager.TaskEvent> batch) {
+            batches.add(batch);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        List<TaskManager.TaskEvent> events() {
+            List<TaskManager.TaskEvent> all = new ArrayList<>();
+            batches.forEach(all::addAll);
+            return all;
+        }
+    }
+
+    private static void testEventsAreBatched() {
+        ManualExecutor executor = new ManualExecutor();
+        TaskManager manager = new TaskManager(executor);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        manager.getChangePublisher().subscribe(subscriber);
+        executor.runAll();
+
+        for (int i = 1; i <= 5; i++) {
+            manager.addTask("Task " + i);
+        }
+        manager.completeTask(1);
+        manager.setTaskPriority(2, "High");
+        executor.runAll();
+
+        check("burst of mutations arrives as one batch", subscriber.batches.size() == 1);
+        List<TaskManager.TaskEvent> events = subscriber.events();
+        check("batch holds every event in order", events.size() == 7
+            && events.get(0).type() == TaskManager.ChangeType.ADDED
+            && events.get(5).type() == TaskManager.ChangeType.COMPLETED
+            && events.get(6).type() == TaskManager.ChangeType.PRIORITY_CHANGED
+            && "High".equals(events.get(6).priority()));
+    }
+
+    private static void testOverflowCollapsesIntoResync() {
+        ManualExecutor executor = new ManualExecutor();
+        TaskManager manager = new TaskManager(executor, 4, 256);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        manager.getChangePublisher().subscribe(subscriber);
+        executor.runAll();
+
+        for (int i = 1; i <= 10; i++) {
+            manager.addTask("Task " + i);
+        }
+        executor.runAll();
+        manager.addTask("After overflow");
+        executor.runAll();
+
+        List<TaskManager.TaskEvent> events = subscriber.events();
+        check("overflow does not end the stream", subscriber.error == null && !subscriber.completed);
+        check("overflow is reported as a single RESYNC marker",
+            events.get(0).type() == TaskManager.ChangeType.RESYNC
+            && events.stream().filter(e -> e.type() == TaskManager.ChangeType.RESYNC).count() == 1);
+        check("events after the overflow are still delivered",
+            events.get(events.size() - 1).description().equals("After overflow"));
+    }
+
+    private static void testCloseDeliversBufferedEvents() {
+        ManualExecutor executor = new ManualExecutor();
+        TaskManager manager = new TaskManager(executor);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        manager.getChangePublisher().subscribe(subscriber);
+
+        manager.addTask("Buffered");
+        manager.closeChangeStream();
+        executor.runAll();
+
+        check("close delivers buffered events before completing",
+            subscriber.events().size() == 1 && subscriber.completed);
+        check("closed stream drops its subscribers", manager.getChangeSubscriberCount() == 0);
+    }
+
+    private static void testThrowingSubscriberDoesNotBreakMutations() {
+        TaskManager manager = new TaskManager(Runnable::run);
+        manager.addTask("Task 1");
+        manager.addTask("Task 2");
+        manager.addTask("Task 3");
+        manager.completeTask(1);
+        manager.completeTask(2);
+        manager.getChangePublisher().subscribe(new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(List<TaskManager.TaskEvent> batch) {
+                throw new IllegalStateException("subscriber failure");
+            }
+        });
+
+        boolean threw = false;
+        int cleared = 0;
+        try {
+            cleared = manager.clearCompletedTasks();
+        } catch (RuntimeException e) {
+            threw = true;
+        }
+        check("subscriber exception does not escape the mutation", !threw && cleared == 2);
+        check("task list and index stay consistent",
+            manager.getTaskCount() == 1 && manager.findTaskById(3) != null && manager.findTaskById(1) == null);
+        check("throwing subscriber is cancelled", manager.getChangeSubscriberCount() == 0);
+    }
+
+    private static void testCancelInsideOnSubscribe() {
+        TaskManager manager = new TaskManager(Runnable::run);
+        manager.getChangePublisher().subscribe(new RecordingSubscriber(1) {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.cancel();
+            }
+        });
+        check("cancel inside onSubscribe leaves no subscriber", manager.getChangeSubscriberCount() == 0);
+    }
+
+    private static void testSignalsWaitForOnSubscribe() {
+        TaskManager manager = new TaskManager(Runnable::run);
+        List<String> signals = Collections.synchronizedList(new ArrayList<>());
+        manager.getChangePublisher().subscribe(new RecordingSubscriber(0) {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                signals.add("onSubscribe:start");
+                subscription.request(0);
+                signals.add("onSubscribe:end");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add("onError");
+            }
+        });
+        check("onError waits until onSubscribe returns",
+            signals.equals(List.of("onSubscribe:start", "onSubscribe:end", "onError")));
+    }
+
+    private static void testReadySetFollowsCompletion() {
+        TaskManager manager = chain();
+        check("only tasks without prerequisites start ready", ids(manager.getReadyTasks()).equals(List.of(1, 5)));
+        check("completion returns newly ready tasks", ids(manager.completeTaskAndGetReady(1)).equals(List.of(2)));
+        check("completed task leaves the ready set", !manager.isReady(1) && manager.isReady(2));
+        check("completion releases the last prerequisite", ids(manager.completeTaskAndGetReady(2)).equals(List.of(3)));
+        check("completing twice reports nothing", manager.completeTaskAndGetReady(2).isEmpty() && !manager.completeTask(2));
+    }
+
+    private static void testReadySetFollowsUncompleteAndRemove() {
+        TaskManager manager = chain();
+        manager.completeTask(1);
+        manager.completeTask(2);
+        manager.uncompleteTask(1);
+        check("uncomplete blocks dependents again", ids(manager.getReadyTasks()).equals(List.of(5, 1)));
+        manager.removeTask(1);
+        check("removing a pending prerequisite releases dependents", ids(manager.getReadyTasks()).equals(List.of(5, 3)));
+        manager.removeDependency(4, 3);
+        check("removing a dependency releases the task", manager.isReady(4));
+    }
+
+    private static void testReadySetFollowsClear() {
+        TaskManager manager = chain();
+        manager.completeTask(1);
+        manager.completeTask(2);
+        manager.completeTask(3);
+        check("clear removes completed tasks", manager.clearCompletedTasks() == 3);
+        check("clear keeps the ready set intact", ids(manager.getReadyTasks()).equals(List.of(5, 4)));
+        check("clear drops edges to removed tasks", manager.getPrerequisites(4).isEmpty());
+    }
+
+    private static void testDependencyValidation() {
+        TaskManager manager = chain();
+        boolean cycleRejected = false;
+        try {
+            manager.addDependency(1, 4);
+        } catch (IllegalArgumentException e) {
+            cycleRejected = true;
+        }
+        check("cycle is rejected at insert time", cycleRejected && manager.getPrerequisites(1).isEmpty());
+        boolean selfRejected = false;
+        try {
+            manager.addDependency(5, 5);
+        } catch (IllegalArgumentException e) {
+            selfRejected = true;
+        }
+        check("self dependency is rejected", selfRejected);
+        check("duplicate dependency returns false", !manager.addDependency(2, 1));
+        check("unknown task returns false", !manager.addDependency(99, 1) && !manager.addDependency(1, 99));
+    }
+}